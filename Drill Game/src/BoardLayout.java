@@ -0,0 +1,44 @@
+/**
+ * Holds the rules that decide which content type each generated cell of the board receives. The top two rows are
+ * always empty sky, the third row is always soil, and every deeper cell is drawn at random, except for the border
+ * columns and the last row, which are always obstacles. The rules are kept free of any JavaFX types so that code
+ * without a scene, such as storage checks, generates exactly the same boards as {@link GameBoard}.
+ */
+
+import java.util.Random;
+
+public class BoardLayout {
+
+    /**
+     * Chooses the content type of the cell at the given position. Cells below the soil row consume one value
+     * from {@code rand}, so filling a board row by row reproduces the board that {@link GameBoard} generates.
+     *
+     * @param i the row index of the cell
+     * @param j the column index of the cell
+     * @param rows the number of rows on the board
+     * @param cols the number of columns on the board
+     * @param rand the random source used for the cells below the soil row
+     * @return the content type of the cell, such as {@code "soil"}, {@code "obstacle"} or {@code "lava"}
+     */
+    public static String contentFor(int i, int j, int rows, int cols, Random rand) {
+        if (i <= 1) {
+            return "empty";
+        }
+        if (i == 2) {
+            return "soil";
+        }
+        int element = rand.nextInt(100);
+        if (j == 0 || j == cols - 1 || i == rows - 1 || (element >= 93 && element < 96)) {
+            return "obstacle";
+        } else if (element < 70) {
+            return "soil";
+        } else if (element < 78) {
+            return "valuable1";
+        } else if (element < 86) {
+            return "valuable2";
+        } else if (element < 90) {
+            return "valuable3";
+        }
+        return "lava";
+    }
+}
@@ -0,0 +1,403 @@
+/**
+ * Stores cell content types in row-aligned chunks as a compact alternative to a flat {@code String[][]} for boards
+ * far larger than the game's 15x15 grid, where that flat grid is both smaller and faster and remains in use.
+ * A chunk covers up to {@value #CHUNK_WIDTH} consecutive cells of a single row, so the horizontal bands of a board
+ * (the sky rows, the top soil row, the bottom obstacle row) line up with chunk boundaries and no chunk holds padding.
+ *
+ * Each chunk keeps a palette of exactly the contents it holds and is stored in one of three forms: uniform (a single
+ * palette entry and no per-cell data), run-length encoded (one {@code short} per run holding its end offset and
+ * palette index), or bit-packed (one palette index per cell). {@link #compact()} picks run-length encoding only where
+ * its array is strictly smaller than the packed one, which takes a chunk with at least three contents in a few long
+ * runs; a two-content chunk already packs into a single word. Writes expand a run-length chunk to the packed form
+ * transparently. A write that leaves a chunk holding a single content collapses it to the uniform form, and one that
+ * leaves a palette entry unreferenced re-encodes the chunk, so palettes and index widths never outgrow the contents.
+ *
+ * Sizes are estimates for a 64-bit JVM with compressed references: 12-byte object headers, 16-byte array headers
+ * and 8-byte alignment. The content strings are literals shared by both layouts and are not counted.
+ */
+
+public class CellStorage {
+    private static final int CHUNK_WIDTH = 64;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int CHUNK_FIELD_BYTES = 3 * REFERENCE_BYTES + 2 * Integer.BYTES;
+    private static final int RUN_END_SHIFT = 8;
+    private static final int RUN_VALUE_MASK = (1 << RUN_END_SHIFT) - 1;
+
+    private final int rows;
+    private final int cols;
+    private final int chunksPerRow;
+    private final Chunk[] chunks;
+    private long expansions;
+
+    public CellStorage(int rows, int cols, String initialContent) {
+        this.rows = rows;
+        this.cols = cols;
+        this.chunksPerRow = (cols + CHUNK_WIDTH - 1) / CHUNK_WIDTH;
+        chunks = new Chunk[rows * chunksPerRow];
+        for (int row = 0; row < rows; row++) {
+            for (int c = 0; c < chunksPerRow; c++) {
+                int length = Math.min(CHUNK_WIDTH, cols - c * CHUNK_WIDTH);
+                chunks[row * chunksPerRow + c] = new Chunk(length, initialContent);
+            }
+        }
+    }
+
+    public String get(int row, int col) {
+        return chunkAt(row, col).get(col % CHUNK_WIDTH);
+    }
+
+    public void set(int row, int col, String content) {
+        if (chunkAt(row, col).set(col % CHUNK_WIDTH, content)) {
+            expansions++;
+        }
+    }
+
+    /**
+     * Re-encodes every chunk in its smallest form, choosing run-length encoding over bit-packing only where the run
+     * array is strictly smaller than the packed indices. Writes keep palettes exact on their own, so this is only
+     * needed to move chunks into the run-length form, for example after a board has been filled.
+     */
+    public void compact() {
+        for (Chunk chunk : chunks) {
+            chunk.compact();
+        }
+    }
+
+    /**
+     * Estimates the resident size of the chunked storage, including the chunk objects and every array header.
+     *
+     * @return the approximate number of bytes used by the chunk array, the chunks and their arrays
+     */
+    public long getPackedBytes() {
+        long bytes = arrayBytes(chunks.length, REFERENCE_BYTES);
+        for (Chunk chunk : chunks) {
+            bytes += chunk.estimateBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the resident size of the equivalent {@code String[rows][cols]}, including the row array headers.
+     *
+     * @return the approximate number of bytes a flat grid of references would use
+     */
+    public long getFlatBytes() {
+        return arrayBytes(rows, REFERENCE_BYTES) + rows * arrayBytes(cols, REFERENCE_BYTES);
+    }
+
+    public double getCompressionRatio() {
+        return (double) getFlatBytes() / getPackedBytes();
+    }
+
+    public int getUniformChunkCount() {
+        int count = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.indices == null && chunk.runs == null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getRunLengthChunkCount() {
+        int count = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.runs != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getPackedChunkCount() {
+        int count = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.indices != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Summarizes how the board is stored: how many chunks are in each form, the estimated size against a flat grid,
+     * the average index width stored per cell and how many writes had to grow or decode a chunk.
+     *
+     * @return a one-line report suitable for logging
+     */
+    public String getReport() {
+        long storedBits = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.indices != null) {
+                storedBits += (long) chunk.bitsPerEntry * chunk.length;
+            }
+        }
+        return String.format("CellStorage %dx%d: %d chunks (%d uniform, %d run-length, %d packed), %d bytes vs %d flat (%.2fx), %.2f packed bits/cell, %d expansions on write",
+                rows, cols, chunks.length, getUniformChunkCount(), getRunLengthChunkCount(), getPackedChunkCount(), getPackedBytes(), getFlatBytes(),
+                getCompressionRatio(), (double) storedBits / ((long) rows * cols), expansions);
+    }
+
+    private Chunk chunkAt(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") is outside the board");
+        }
+        return chunks[row * chunksPerRow + col / CHUNK_WIDTH];
+    }
+
+    private static long arrayBytes(long length, int elementBytes) {
+        return align(ARRAY_HEADER_BYTES + length * elementBytes);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * A run of at most {@value #CHUNK_WIDTH} cells within one row. Exactly one of the forms is active:
+     * {@code indices} for bit-packed cells, {@code runs} for run-length encoded cells, or neither for a uniform chunk
+     * whose single content is {@code palette[0]}. Each run packs its exclusive end offset above its palette index.
+     */
+    private static class Chunk {
+        private final int length;
+        private String[] palette;
+        private long[] indices;
+        private short[] runs;
+        private int bitsPerEntry;
+
+        Chunk(int length, String content) {
+            this.length = length;
+            palette = new String[] { content };
+        }
+
+        String get(int index) {
+            if (indices != null) {
+                return palette[readIndex(indices, bitsPerEntry, index)];
+            }
+            if (runs != null) {
+                return palette[runs[findRun(index)] & RUN_VALUE_MASK];
+            }
+            return palette[0];
+        }
+
+        /**
+         * Writes one cell, expanding the chunk first if its current form cannot take the write in place.
+         *
+         * @return {@code true} if the write had to decode runs or widen the packed indices
+         */
+        boolean set(int index, String content) {
+            int paletteIndex = paletteIndexOf(content);
+            if (indices == null && runs == null && paletteIndex == 0) {
+                return false;
+            }
+            boolean expanded = false;
+            if (runs != null) {
+                expandRuns();
+                expanded = true;
+            }
+            if (paletteIndex < 0) {
+                int neededBits = bitsFor(palette.length + 1);
+                if (neededBits != bitsPerEntry) {
+                    repack(neededBits);
+                    expanded = true;
+                }
+                paletteIndex = addToPalette(content);
+            }
+            int previous = readIndex(indices, bitsPerEntry, index);
+            writeIndex(indices, bitsPerEntry, index, paletteIndex);
+            if (previous != paletteIndex) {
+                if (holdsOnly(paletteIndex)) {
+                    palette = new String[] { content };
+                    indices = null;
+                    bitsPerEntry = 0;
+                } else if (!references(previous)) {
+                    compact();
+                }
+            }
+            return expanded;
+        }
+
+        void compact() {
+            if (indices == null && runs == null) {
+                return;
+            }
+            int[] values = decode();
+            int[] remap = new int[palette.length];
+            int used = 0;
+            int runCount = 0;
+            for (int i = 0; i < length; i++) {
+                if (remap[values[i]] == 0) {
+                    remap[values[i]] = ++used;
+                }
+                if (i == 0 || values[i] != values[i - 1]) {
+                    runCount++;
+                }
+            }
+            String[] shrunk = new String[used];
+            for (int i = 0; i < palette.length; i++) {
+                if (remap[i] > 0) {
+                    shrunk[remap[i] - 1] = palette[i];
+                }
+            }
+            for (int i = 0; i < length; i++) {
+                values[i] = remap[values[i]] - 1;
+            }
+            palette = shrunk;
+            indices = null;
+            runs = null;
+            bitsPerEntry = 0;
+            if (used == 1) {
+                return;
+            }
+            int newBits = bitsFor(used);
+            long runBytes = arrayBytes(runCount, Short.BYTES);
+            long packedBytes = arrayBytes(wordsFor(newBits), Long.BYTES);
+            if (runBytes < packedBytes) {
+                encodeRuns(values, runCount);
+            } else {
+                indices = new long[wordsFor(newBits)];
+                bitsPerEntry = newBits;
+                for (int i = 0; i < length; i++) {
+                    writeIndex(indices, newBits, i, values[i]);
+                }
+            }
+        }
+
+        long estimateBytes() {
+            long bytes = align(OBJECT_HEADER_BYTES + CHUNK_FIELD_BYTES) + arrayBytes(palette.length, REFERENCE_BYTES);
+            if (indices != null) {
+                bytes += arrayBytes(indices.length, Long.BYTES);
+            }
+            if (runs != null) {
+                bytes += arrayBytes(runs.length, Short.BYTES);
+            }
+            return bytes;
+        }
+
+        private int paletteIndexOf(String content) {
+            for (int i = 0; i < palette.length; i++) {
+                if (content == null ? palette[i] == null : content.equals(palette[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int addToPalette(String content) {
+            String[] grown = new String[palette.length + 1];
+            System.arraycopy(palette, 0, grown, 0, palette.length);
+            grown[palette.length] = content;
+            palette = grown;
+            return palette.length - 1;
+        }
+
+        // Stops at the first other value, so the common case of a still-mixed chunk costs only a few reads.
+        private boolean holdsOnly(int paletteIndex) {
+            for (int i = 0; i < length; i++) {
+                if (readIndex(indices, bitsPerEntry, i) != paletteIndex) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean references(int paletteIndex) {
+            for (int i = 0; i < length; i++) {
+                if (readIndex(indices, bitsPerEntry, i) == paletteIndex) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int[] decode() {
+            int[] values = new int[length];
+            if (indices != null) {
+                for (int i = 0; i < length; i++) {
+                    values[i] = readIndex(indices, bitsPerEntry, i);
+                }
+            } else if (runs != null) {
+                int start = 0;
+                for (short run : runs) {
+                    int end = run >> RUN_END_SHIFT;
+                    for (int i = start; i < end; i++) {
+                        values[i] = run & RUN_VALUE_MASK;
+                    }
+                    start = end;
+                }
+            }
+            return values;
+        }
+
+        private void encodeRuns(int[] values, int runCount) {
+            runs = new short[runCount];
+            int r = 0;
+            for (int i = 1; i <= length; i++) {
+                if (i == length || values[i] != values[i - 1]) {
+                    runs[r++] = (short) (i << RUN_END_SHIFT | values[i - 1]);
+                }
+            }
+        }
+
+        private void expandRuns() {
+            int[] values = decode();
+            runs = null;
+            bitsPerEntry = bitsFor(palette.length);
+            indices = new long[wordsFor(bitsPerEntry)];
+            for (int i = 0; i < length; i++) {
+                writeIndex(indices, bitsPerEntry, i, values[i]);
+            }
+        }
+
+        private void repack(int newBits) {
+            long[] packed = new long[wordsFor(newBits)];
+            for (int i = 0; i < length; i++) {
+                int value = indices == null ? 0 : readIndex(indices, bitsPerEntry, i);
+                writeIndex(packed, newBits, i, value);
+            }
+            indices = packed;
+            bitsPerEntry = newBits;
+        }
+
+        // Run ends are exclusive offsets in ascending order, so the first end past the index owns it.
+        private int findRun(int index) {
+            int low = 0;
+            int high = runs.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (runs[mid] >> RUN_END_SHIFT <= index) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int wordsFor(int bits) {
+            int perWord = Long.SIZE / bits;
+            return (length + perWord - 1) / perWord;
+        }
+
+        private static int bitsFor(int paletteSize) {
+            return paletteSize <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(paletteSize - 1);
+        }
+
+        // Entries never straddle two words, so a read is a single lookup, shift and mask.
+        private static int readIndex(long[] words, int bits, int index) {
+            int perWord = Long.SIZE / bits;
+            long word = words[index / perWord];
+            int shift = (index % perWord) * bits;
+            return (int) ((word >>> shift) & ((1L << bits) - 1));
+        }
+
+        private static void writeIndex(long[] words, int bits, int index, int value) {
+            int perWord = Long.SIZE / bits;
+            int wordIndex = index / perWord;
+            int shift = (index % perWord) * bits;
+            long mask = ((1L << bits) - 1) << shift;
+            words[wordIndex] = (words[wordIndex] & ~mask) | (((long) value << shift) & mask);
+        }
+    }
+}
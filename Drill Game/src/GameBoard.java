@@ -62,45 +62,36 @@ public class GameBoard {
     /**
      * Configures an individual cell in the grid with appropriate visual and content settings.
      * This method determines what type of content (e.g., soil, valuable, obstacle) should be placed in each cell
-     * based on its position and random factors. It then assigns an image to represent this content visually
-     * in the game's grid. The configuration for the top layer and boundaries is fixed, while other contents are
-     * randomly distributed according to the game's rules.
+     * based on its position and random factors, using the rules in {@link BoardLayout#contentFor}. It then assigns
+     * an image to represent this content visually in the game's grid. The configuration for the top layer and
+     * boundaries is fixed, while other contents are randomly distributed according to the game's rules.
      *
      * @param imageView the {@link ImageView} that will visually represent the cell content
      * @param i the row index of the cell to be set up
      * @param j the column index of the cell to be set up
      */
     private void setupGrid(ImageView imageView, int i, int j) {
-        if (i <= 1) {
-            gridContents[i][j] = "empty";
-        }
-        if (i == 2) {
-            imageView.setImage(new Image("/assets/underground/top_01.png"));
-            gridContents[i][j] = "soil";
-        }
-        if (i >= 3) {
-            int element = rand.nextInt(100);
-            if (j == 0 || j == size - 1 || i == size - 1 || (element >= 93 && element < 96)) {
+        gridContents[i][j] = BoardLayout.contentFor(i, j, size, size, rand);
+        switch (gridContents[i][j]) {
+            case "soil":
+                imageView.setImage(new Image(i == 2 ? "/assets/underground/top_01.png" : "/assets/underground/soil_01.png"));
+                break;
+            case "obstacle":
                 imageView.setImage(new Image("/assets/underground/obstacle_01.png"));
-                gridContents[i][j] = "obstacle";
-            } else if (element < 70) {
-                imageView.setImage(new Image("/assets/underground/soil_01.png"));
-                gridContents[i][j] = "soil";
-            } else if (element < 78) {
+                break;
+            case "valuable1":
                 imageView.setImage(new Image("/assets/underground/valuable_goldium.png"));
-                gridContents[i][j] = "valuable1";
-            } else if (element < 86) {
+                break;
+            case "valuable2":
                 imageView.setImage(new Image("/assets/underground/valuable_ruby.png"));
-                gridContents[i][j] = "valuable2";
-            } else if (element < 90) {
+                break;
+            case "valuable3":
                 imageView.setImage(new Image("/assets/underground/valuable_emerald.png"));
-                gridContents[i][j] = "valuable3";
-            } else {
+                break;
+            case "lava":
                 imageView.setImage(new Image("/assets/underground/lava_02.png"));
-                gridContents[i][j] = "lava";
-            }
+                break;
         }
-
     }
 
     public String getCellContent(int row, int col) {
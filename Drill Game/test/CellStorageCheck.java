@@ -0,0 +1,182 @@
+/**
+ * Standalone check and benchmark for {@link CellStorage}, kept outside the game sources and runnable without JavaFX:
+ * {@code javac -d out src/CellStorage.java src/BoardLayout.java test/CellStorageCheck.java} followed by
+ * {@code java -cp out CellStorageCheck} from the {@code Drill Game} directory. It fills boards with
+ * {@link BoardLayout#contentFor}, mirrors every write into a flat {@code String[][]} and fails if any cell or chunk
+ * count differs from what is expected. It prints the storage report for each generated board and times random reads
+ * and writes against the flat grid, which is the access cost of the chunked layout.
+ */
+
+import java.util.Random;
+
+public class CellStorageCheck {
+    private static final String[] CONTENTS = { "empty", "soil", "obstacle", "valuable1", "valuable2", "valuable3", "lava" };
+    private static final int ACCESSES = 2_000_000;
+
+    public static void main(String[] args) {
+        Random rand = new Random(42);
+
+        checkUniformBoard();
+        checkRunLengthChunk();
+        checkPaletteNarrowing();
+        checkBoard("15x15 generated board", 15, 15, rand, false);
+        checkBoard("64x4096 generated world with tunnels", 4096, 64, rand, true);
+    }
+
+    private static void checkUniformBoard() {
+        CellStorage storage = new CellStorage(15, 15, "empty");
+        for (int i = 0; i < 15; i++) {
+            for (int j = 0; j < 15; j++) {
+                storage.set(i, j, "obstacle");
+            }
+        }
+        expectCounts("15x15 all obstacle", storage, 15, 0, 0);
+    }
+
+    private static void checkRunLengthChunk() {
+        String[][] flat = new String[1][64];
+        CellStorage storage = new CellStorage(1, 64, "empty");
+        for (int j = 0; j < 64; j++) {
+            flat[0][j] = j < 20 ? "soil" : j < 40 ? "lava" : "valuable1";
+            storage.set(0, j, flat[0][j]);
+        }
+        // Overwriting the last initial cell drops "empty" from the palette, which re-encodes the chunk as runs.
+        expectCounts("three runs", storage, 0, 1, 0);
+        verify("three runs", flat, storage);
+        storage.compact();
+        expectCounts("three runs after compaction", storage, 0, 1, 0);
+
+        flat[0][30] = "obstacle";
+        storage.set(0, 30, "obstacle");
+        expectCounts("write into a run", storage, 0, 0, 1);
+        verify("write into a run", flat, storage);
+
+        for (int j = 0; j < 64; j++) {
+            flat[0][j] = "empty";
+            storage.set(0, j, "empty");
+        }
+        expectCounts("mined-out run chunk", storage, 1, 0, 0);
+        verify("mined-out run chunk", flat, storage);
+    }
+
+    private static void checkPaletteNarrowing() {
+        String[][] flat = new String[1][64];
+        CellStorage storage = new CellStorage(1, 64, "empty");
+        storage.set(0, 0, "soil");
+        long narrowBytes = storage.getPackedBytes();
+        for (int n = 0; n < 1000; n++) {
+            storage.set(0, 1, "content" + n);
+        }
+        storage.set(0, 1, "empty");
+        for (int j = 0; j < 64; j++) {
+            flat[0][j] = j == 0 ? "soil" : "empty";
+        }
+        verify("palette narrowing", flat, storage);
+        if (storage.getPackedBytes() != narrowBytes) {
+            throw new IllegalStateException("Palette did not narrow after distinct writes: " + storage.getPackedBytes()
+                    + " bytes, expected " + narrowBytes);
+        }
+    }
+
+    private static void checkBoard(String name, int rows, int cols, Random rand, boolean mineTunnels) {
+        String[][] flat = new String[rows][cols];
+        CellStorage storage = new CellStorage(rows, cols, "empty");
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                String content = BoardLayout.contentFor(i, j, rows, cols, rand);
+                flat[i][j] = content;
+                storage.set(i, j, content);
+            }
+        }
+        verify(name + " after generation", flat, storage);
+
+        if (mineTunnels) {
+            for (int i = 3; i < rows - 1; i++) {
+                int col = cols / 2;
+                flat[i][col] = "empty";
+                storage.set(i, col, "empty");
+                if (i % 16 == 0) {
+                    for (int j = 0; j < cols; j++) {
+                        flat[i][j] = "empty";
+                        storage.set(i, j, "empty");
+                    }
+                }
+            }
+            verify(name + " after mining", flat, storage);
+        }
+
+        storage.compact();
+        verify(name + " after compaction", flat, storage);
+        System.out.println(name + ": " + storage.getReport());
+
+        timeAccess(flat, storage, rand);
+        verify(name + " after random writes", flat, storage);
+    }
+
+    private static void expectCounts(String stage, CellStorage storage, int uniform, int runLength, int packed) {
+        if (storage.getUniformChunkCount() != uniform || storage.getRunLengthChunkCount() != runLength
+                || storage.getPackedChunkCount() != packed) {
+            throw new IllegalStateException(stage + ": expected " + uniform + " uniform, " + runLength + " run-length, "
+                    + packed + " packed chunks but got " + storage.getReport());
+        }
+    }
+
+    private static void verify(String stage, String[][] flat, CellStorage storage) {
+        for (int i = 0; i < flat.length; i++) {
+            for (int j = 0; j < flat[i].length; j++) {
+                if (!flat[i][j].equals(storage.get(i, j))) {
+                    throw new IllegalStateException(stage + ": cell (" + i + ", " + j + ") is " + storage.get(i, j)
+                            + " but should be " + flat[i][j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Times the same sequence of random reads, then random writes, on both layouts. Both layouts receive identical
+     * writes so they can be compared afterwards; a few warm-up rounds let the JIT settle first.
+     */
+    private static void timeAccess(String[][] flat, CellStorage storage, Random rand) {
+        int rows = flat.length;
+        int cols = flat[0].length;
+        int[] rowIndex = new int[ACCESSES];
+        int[] colIndex = new int[ACCESSES];
+        String[] written = new String[ACCESSES];
+        for (int n = 0; n < ACCESSES; n++) {
+            rowIndex[n] = rand.nextInt(rows);
+            colIndex[n] = rand.nextInt(cols);
+            written[n] = CONTENTS[rand.nextInt(CONTENTS.length)];
+        }
+
+        long flatGet = 0, storageGet = 0, flatSet = 0, storageSet = 0;
+        int sink = 0;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int n = 0; n < ACCESSES; n++) {
+                sink += flat[rowIndex[n]][colIndex[n]].length();
+            }
+            flatGet = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int n = 0; n < ACCESSES; n++) {
+                sink += storage.get(rowIndex[n], colIndex[n]).length();
+            }
+            storageGet = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int n = 0; n < ACCESSES; n++) {
+                flat[rowIndex[n]][colIndex[n]] = written[n];
+            }
+            flatSet = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int n = 0; n < ACCESSES; n++) {
+                storage.set(rowIndex[n], colIndex[n], written[n]);
+            }
+            storageSet = System.nanoTime() - start;
+        }
+        System.out.printf("  access cost: get %.1f ns vs %.1f ns flat, set %.1f ns vs %.1f ns flat (checksum %d)%n",
+                (double) storageGet / ACCESSES, (double) flatGet / ACCESSES,
+                (double) storageSet / ACCESSES, (double) flatSet / ACCESSES, sink);
+    }
+}